@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import java.io.Closeable;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * WebSocket endpoint for log streaming.
@@ -23,7 +24,7 @@ public class LogWebSocket implements Closeable {
 
     private static final Set<Session> sessions = new CopyOnWriteArraySet<>();
 
-    private static final int QUEUE_CAPACITY = 10_000;
+    public static final int QUEUE_CAPACITY = 10_000;
 
     private static final BlockingQueue<String> broadcastQueue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
 
@@ -33,6 +34,15 @@ public class LogWebSocket implements Closeable {
         return t;
     });
 
+    // 因队列满被丢弃的消息数
+    private static final AtomicLong droppedCount = new AtomicLong();
+
+    // 异步发送失败（含发送时抛异常）的次数
+    private static final AtomicLong sendFailureCount = new AtomicLong();
+
+    // 广播队列深度的历史最高值
+    private static final AtomicLong queueHighWaterMark = new AtomicLong();
+
     // 控制广播线程生命周期
     private static volatile boolean running = true;
 
@@ -65,6 +75,7 @@ public class LogWebSocket implements Closeable {
         try {
             session.getAsyncRemote().sendText(msg, r -> handleSendResult(session, r));
         } catch (Exception e) {
+            sendFailureCount.incrementAndGet();
             log.error("Exception sending to {}: {}", session.getId(), e.getMessage());
         }
     }
@@ -73,6 +84,7 @@ public class LogWebSocket implements Closeable {
     private static void handleSendResult(Session session, SendResult r) {
         if (r.isOK()) return;
 
+        sendFailureCount.incrementAndGet();
         Throwable err = r.getException();
         if (err != null) {
             log.warn("Async send failed to {}: {}", session.getId(), err.getMessage());
@@ -106,20 +118,49 @@ public class LogWebSocket implements Closeable {
         if (!running) return;
 
         boolean offered = broadcastQueue.offer(message);
-        if (!offered) {
+        if (offered) {
+            queueHighWaterMark.accumulateAndGet(broadcastQueue.size(), Math::max);
+        } else {
             // 队列满：丢弃最旧的一条后再尝试插入（保留新消息）
             String dropped = broadcastQueue.poll();
             if (dropped != null) {
+                droppedCount.incrementAndGet();
                 log.debug("Broadcast queue full, dropped oldest message.");
             }
             // 尝试再次插入（若仍失败则直接丢弃）
             offered = broadcastQueue.offer(message);
             if (!offered) {
+                droppedCount.incrementAndGet();
                 log.warn("Broadcast queue full, message dropped.");
             }
         }
     }
 
+    /** 当前 open 的 WebSocket 会话数 */
+    public static int getSessionCount() {
+        return sessions.size();
+    }
+
+    /** 当前广播队列中待发送的消息数 */
+    public static int getQueueSize() {
+        return broadcastQueue.size();
+    }
+
+    /** 广播队列深度的历史最高值 */
+    public static long getQueueHighWaterMark() {
+        return queueHighWaterMark.get();
+    }
+
+    /** 累计因广播队列满而丢弃的消息数 */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** 累计向 session 异步发送失败的次数 */
+    public static long getSendFailureCount() {
+        return sendFailureCount.get();
+    }
+
     /**
      * 优雅关闭广播线程和清理资源（在应用关闭时调用）
      */
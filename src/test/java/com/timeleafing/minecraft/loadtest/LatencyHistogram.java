@@ -0,0 +1,76 @@
+package com.timeleafing.minecraft.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的对数分桶延迟直方图（单位：微秒）。
+ * - 0~127 精确计数，其后每个 2 的幂区间分 64 桶，相对误差 < 1/64
+ * - 固定内存，几百个客户端、上千万样本也不会影响被测进程的堆占用
+ */
+final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+
+    private static final int SUB_BUCKETS = 64;
+
+    // 上限约 2^41 微秒（~25 天），超出部分记入最后一桶
+    private static final long MAX_VALUE = (1L << 41) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+
+    void record(long micros) {
+        long v = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(v));
+        total.incrementAndGet();
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /** 返回第 p 百分位所在桶的上界（0 < p <= 100） */
+    long percentile(double p) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int indexOf(long v) {
+        if (v < LINEAR_BUCKETS) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - 6;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((v >> shift) - SUB_BUCKETS);
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int k = index - LINEAR_BUCKETS;
+        int shift = k / SUB_BUCKETS + 1;
+        long sub = k % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,353 @@
+package com.timeleafing.minecraft.loadtest;
+
+import com.timeleafing.minecraft.websocket.LogWebSocket;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 端到端压测：假 Minecraft 进程 -> MinecraftProcessService -> LogWebSocket -> 大量本地 /ws/log 客户端。
+ * 默认不运行，需 {@code ./mvnw -P load-test test}；参数通过 -Dloadtest.* 覆盖，见 README。
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LogStreamLoadTest {
+
+    private static final String HMAC_SECRET = "load-test-secret";
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 1000);
+
+    private static final String SIZES = System.getProperty("loadtest.sizes", "120:70,400:25,2000:5");
+
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+
+    private static final int CMD_RATE = Integer.getInteger("loadtest.cmd-rate", 5);
+
+    private static final int DRAIN_SECONDS = Integer.getInteger("loadtest.drain-seconds", 15);
+
+    // 实际速率低于目标的比例超过该值即视为饱和
+    private static final double RATE_TOLERANCE = Double.parseDouble(System.getProperty("loadtest.rate-tolerance", "0.05"));
+
+    private static final boolean FAIL_ON_SATURATION = Boolean.getBoolean("loadtest.fail-on-saturation");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+
+    private final LatencyHistogram cmdLatency = new LatencyHistogram();
+
+    private final AtomicLong cmdErrors = new AtomicLong();
+
+    private final AtomicLong peakHeapUsed = new AtomicLong();
+
+    private final AtomicLong peakQueueSize = new AtomicLong();
+
+
+    @DynamicPropertySource
+    static void loadTestProperties(DynamicPropertyRegistry registry) throws Exception {
+        validateParameters();
+
+        String javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classes = Path.of(SyntheticMinecraftServer.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        String script = "exec '%s' -Xmx64m -cp '%s' %s --rate=%d --sizes='%s'"
+                .formatted(javaBin, classes, SyntheticMinecraftServer.class.getName(), RATE, SIZES);
+
+        registry.add("security.hmac-secret", () -> HMAC_SECRET);
+        registry.add("minecraft.work-dir", () -> System.getProperty("java.io.tmpdir"));
+        registry.add("minecraft.run-script", () -> script);
+    }
+
+    private static void validateParameters() {
+        if (CLIENTS <= 0) {
+            throw new IllegalArgumentException("loadtest.clients must be positive: " + CLIENTS);
+        }
+        if (RATE <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive: " + RATE);
+        }
+        if (DURATION_SECONDS <= 0) {
+            throw new IllegalArgumentException("loadtest.duration-seconds must be positive: " + DURATION_SECONDS);
+        }
+        if (CMD_RATE < 0 || CMD_RATE > 1_000_000) {
+            throw new IllegalArgumentException("loadtest.cmd-rate must be between 0 and 1000000: " + CMD_RATE);
+        }
+        if (DRAIN_SECONDS < 0) {
+            throw new IllegalArgumentException("loadtest.drain-seconds must not be negative: " + DRAIN_SECONDS);
+        }
+        if (RATE_TOLERANCE < 0 || RATE_TOLERANCE >= 1) {
+            throw new IllegalArgumentException("loadtest.rate-tolerance must be in [0, 1): " + RATE_TOLERANCE);
+        }
+    }
+
+    @Test
+    void streamLogsToManyClients() throws Exception {
+        log.info("Load test: clients={}, rate={}/s, sizes={}, duration={}s, cmdRate={}/s",
+                CLIENTS, RATE, SIZES, DURATION_SECONDS, CMD_RATE);
+
+        long droppedBefore = LogWebSocket.getDroppedCount();
+        long sendFailuresBefore = LogWebSocket.getSendFailureCount();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+
+        List<LogClient> clients = new ArrayList<>(CLIENTS);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        ScheduledExecutorService commander = Executors.newSingleThreadScheduledExecutor();
+        double elapsedSeconds;
+        try {
+            connectClients(clients);
+            sampler.scheduleAtFixedRate(this::sample, 0, 100, TimeUnit.MILLISECONDS);
+
+            HttpResponse<String> start = signedPost("/start", null);
+            assertEquals(200, start.statusCode());
+            assertEquals("Minecraft server started.", start.body());
+
+            long startedAt = System.nanoTime();
+            if (CMD_RATE > 0) {
+                AtomicLong seq = new AtomicLong();
+                commander.scheduleAtFixedRate(() -> sendCommand("say loadtest " + seq.getAndIncrement()),
+                        0, 1_000_000L / CMD_RATE, TimeUnit.MICROSECONDS);
+            }
+            Thread.sleep(Duration.ofSeconds(DURATION_SECONDS).toMillis());
+
+            // 先停掉命令发送，避免 /stop 之后的 /cmd 被计为失败
+            commander.shutdown();
+            assertTrue(commander.awaitTermination(60, TimeUnit.SECONDS));
+
+            HttpResponse<String> stop = signedPost("/stop", null);
+            assertEquals(200, stop.statusCode());
+            assertEquals("Minecraft server stopped.", stop.body());
+            elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+            // 等待所有客户端收到 LOADTEST-END（或超时）
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_SECONDS);
+            while (System.nanoTime() < deadline && clients.stream().anyMatch(c -> c.endCount < 0)) {
+                Thread.sleep(100);
+            }
+        } finally {
+            sampler.shutdownNow();
+            commander.shutdownNow();
+            for (LogClient client : clients) {
+                if (client.webSocket != null) {
+                    client.webSocket.abort();
+                }
+            }
+        }
+
+        LogClient finished = clients.stream().filter(c -> c.endCount >= 0).findAny().orElse(null);
+        long emitted;
+        double achievedRate;
+        if (finished != null) {
+            emitted = finished.endCount;
+            achievedRate = finished.endElapsedMicros > 0 ? emitted * 1e6 / finished.endElapsedMicros : 0;
+        } else {
+            // 所有客户端都没收到结束标记时，用最大序号估算
+            emitted = clients.stream().mapToLong(c -> c.maxSeq + 1).max().orElse(0);
+            achievedRate = emitted / elapsedSeconds;
+        }
+        boolean saturated = achievedRate < RATE * (1 - RATE_TOLERANCE);
+
+        long received = clients.stream().mapToLong(c -> c.received).sum();
+        long expected = emitted * clients.size();
+        long incomplete = clients.stream().filter(c -> c.endCount < 0).count();
+
+        String report = """
+
+                ===== Log stream load test =====
+                clients                               : %d (incomplete: %d)
+                emitted lines                         : %d over %.1fs
+                rate target / achieved                : %d / %.0f lines/s%s
+                delivered                             : %d / %d (client-side drops: %d, %.3f%%)
+                server queue drops                    : %d
+                send failures                         : %d
+                latency p50/p90/p99/p99.9/max (ms)    : %.2f / %.2f / %.2f / %.2f / %.2f
+                /cmd latency p50/p99/max (ms)         : %.2f / %.2f / %.2f (count: %d, errors: %d)
+                broadcast queue peak run / startup    : %d / %d of %d
+                heap peak / final, incl. clients (MB) : %.1f / %.1f
+                gc count / time                       : %d / %dms
+                ================================
+                """.formatted(
+                clients.size(), incomplete,
+                emitted, elapsedSeconds,
+                RATE, achievedRate, saturated ? " (SATURATED)" : "",
+                received, expected, expected - received, expected == 0 ? 0.0 : 100.0 * (expected - received) / expected,
+                LogWebSocket.getDroppedCount() - droppedBefore,
+                LogWebSocket.getSendFailureCount() - sendFailuresBefore,
+                millis(deliveryLatency.percentile(50)), millis(deliveryLatency.percentile(90)),
+                millis(deliveryLatency.percentile(99)), millis(deliveryLatency.percentile(99.9)), millis(deliveryLatency.max()),
+                millis(cmdLatency.percentile(50)), millis(cmdLatency.percentile(99)), millis(cmdLatency.max()),
+                cmdLatency.count(), cmdErrors.get(),
+                peakQueueSize.get(), LogWebSocket.getQueueHighWaterMark(), LogWebSocket.QUEUE_CAPACITY,
+                peakHeapUsed.get() / 1048576.0, heapUsed() / 1048576.0,
+                gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore);
+        log.info(report);
+
+        if (saturated) {
+            log.warn("Listener saturated: achieved {} lines/s, target {} lines/s (tolerance {}%)",
+                    Math.round(achievedRate), RATE, Math.round(RATE_TOLERANCE * 100));
+        }
+        assertEquals(0, cmdErrors.get(), "signed /cmd requests should all succeed");
+        assertTrue(received > 0, "clients should receive streamed log lines");
+        assertTrue(!saturated || !FAIL_ON_SATURATION, "listener could not sustain the target rate");
+    }
+
+    private void connectClients(List<LogClient> clients) throws InterruptedException {
+        URI uri = URI.create("ws://localhost:%d%s/ws/log".formatted(port, contextPath));
+        List<CompletableFuture<WebSocket>> handshakes = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            LogClient client = new LogClient();
+            clients.add(client);
+            handshakes.add(http.newWebSocketBuilder().buildAsync(uri, client)
+                    .whenComplete((ws, e) -> client.webSocket = ws));
+        }
+        CompletableFuture.allOf(handshakes.toArray(CompletableFuture[]::new)).orTimeout(30, TimeUnit.SECONDS).join();
+        // 客户端握手完成与服务端 onOpen 之间可能有短暂间隔
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (LogWebSocket.getSessionCount() < CLIENTS && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(CLIENTS, LogWebSocket.getSessionCount(), "all clients should be registered");
+    }
+
+    private void sendCommand(String command) {
+        long begin = System.nanoTime();
+        try {
+            HttpResponse<String> response = signedPost("/cmd", command);
+            cmdLatency.record((System.nanoTime() - begin) / 1_000);
+            if (response.statusCode() != 200 || !response.body().startsWith("Cmd sent")) {
+                cmdErrors.incrementAndGet();
+            }
+        } catch (Exception e) {
+            cmdErrors.incrementAndGet();
+            log.warn("Failed to send /cmd: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按 HmacAuthFilter 的规则签名：METHOD \n PATH \n TIMESTAMP \n NONCE
+     */
+    private HttpResponse<String> signedPost(String path, String command) throws Exception {
+        String uriPath = contextPath + path;
+        String ts = String.valueOf(Instant.now().getEpochSecond());
+        String nonce = UUID.randomUUID().toString();
+        String canonical = "POST\n" + uriPath + "\n" + ts + "\n" + nonce;
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(HMAC_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String sign = Base64.getEncoder().encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+
+        String body = command == null ? "" : "command=" + URLEncoder.encode(command, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d%s".formatted(port, uriPath)))
+                .header("X-TS", ts)
+                .header("X-NONCE", nonce)
+                .header("X-SIGN", sign)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void sample() {
+        peakHeapUsed.accumulateAndGet(heapUsed(), Math::max);
+        peakQueueSize.accumulateAndGet(LogWebSocket.getQueueSize(), Math::max);
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+
+    private static long gcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /** 单个 /ws/log 客户端：解析 LOADTEST 行并记录端到端延迟 */
+    private class LogClient implements WebSocket.Listener {
+
+        private final StringBuilder partial = new StringBuilder();
+
+        private volatile WebSocket webSocket;
+
+        private volatile long received;
+
+        private volatile long maxSeq = -1;
+
+        private volatile long endCount = -1;
+
+        private volatile long endElapsedMicros = -1;
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                handle(partial.toString());
+                partial.setLength(0);
+            }
+            ws.request(1);
+            return null;
+        }
+
+        private void handle(String msg) {
+            long now = SyntheticMinecraftServer.nowMicros();
+            if (msg.startsWith(SyntheticMinecraftServer.LINE_PREFIX)) {
+                int seqEnd = msg.indexOf(' ', SyntheticMinecraftServer.LINE_PREFIX.length());
+                int tsEnd = msg.indexOf(' ', seqEnd + 1);
+                long seq = Long.parseLong(msg, SyntheticMinecraftServer.LINE_PREFIX.length(), seqEnd, 10);
+                long ts = Long.parseLong(msg, seqEnd + 1, tsEnd, 10);
+                deliveryLatency.record(now - ts);
+                received++;
+                maxSeq = Math.max(maxSeq, seq);
+            } else if (msg.startsWith(SyntheticMinecraftServer.END_PREFIX)) {
+                String[] parts = msg.substring(SyntheticMinecraftServer.END_PREFIX.length()).trim().split(" ");
+                endElapsedMicros = Long.parseLong(parts[1]);
+                endCount = Long.parseLong(parts[0]);
+            }
+        }
+    }
+}
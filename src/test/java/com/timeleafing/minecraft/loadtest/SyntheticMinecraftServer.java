@@ -0,0 +1,160 @@
+package com.timeleafing.minecraft.loadtest;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 压测用的假 Minecraft 进程，作为 {@code minecraft.run-script} 被 MinecraftProcessService 拉起。
+ * - 按固定速率向 stdout 输出日志行：{@code LOADTEST <seq> <scheduledEpochMicros> <padding>}
+ * - 行长度按加权分布抽样，例如 {@code 80:70,300:25,2000:5}
+ * - 从 stdin 读取命令：{@code stop} 时输出 {@code LOADTEST-END <count> <elapsedMicros>} 并退出，其它命令原样回显
+ */
+public final class SyntheticMinecraftServer {
+
+    static final String LINE_PREFIX = "LOADTEST ";
+
+    static final String END_PREFIX = "LOADTEST-END ";
+
+    private final PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), false, StandardCharsets.UTF_8);
+
+    private final long periodNanos;
+
+    private final int[] sizes;
+
+    private final int[] cumulativeWeights;
+
+    private final Random random;
+
+    private volatile boolean running = true;
+
+    private long emitted;
+
+    private long elapsedMicros;
+
+
+    private SyntheticMinecraftServer(int rate, String sizeSpec, long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive: " + rate);
+        }
+        this.periodNanos = 1_000_000_000L / rate;
+        this.random = new Random(seed);
+
+        List<int[]> buckets = new ArrayList<>();
+        for (String part : sizeSpec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int size = Integer.parseInt(kv[0].trim());
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (size <= 0 || weight <= 0) {
+                throw new IllegalArgumentException("Invalid size bucket: " + part);
+            }
+            buckets.add(new int[]{size, weight});
+        }
+        this.sizes = new int[buckets.size()];
+        this.cumulativeWeights = new int[buckets.size()];
+        int total = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            total += buckets.get(i)[1];
+            sizes[i] = buckets.get(i)[0];
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /** 当前墙钟时间（微秒），跨进程比较延迟用 */
+    static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = 1000;
+        String sizeSpec = "120";
+        long seed = 42L;
+        for (String arg : args) {
+            if (arg.startsWith("--rate=")) {
+                rate = Integer.parseInt(arg.substring("--rate=".length()));
+            } else if (arg.startsWith("--sizes=")) {
+                sizeSpec = arg.substring("--sizes=".length());
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        new SyntheticMinecraftServer(rate, sizeSpec, seed).run();
+    }
+
+    private void run() throws InterruptedException {
+        Thread emitter = new Thread(this::emitLoop, "synthetic-emitter");
+        emitter.start();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            String command;
+            while ((command = reader.readLine()) != null) {
+                if (command.trim().equals("stop")) {
+                    break;
+                }
+                writeLine("[Server thread/INFO]: > " + command);
+            }
+        } catch (IOException ignored) {
+            // stdin 被关闭，按 stop 处理
+        }
+
+        running = false;
+        emitter.join();
+        writeLine(END_PREFIX + emitted + " " + elapsedMicros);
+        System.exit(0);
+    }
+
+    /**
+     * 按计划发送：第 n 行的计划时间为 start + n * period，落后时立即补发。
+     * 下游读得慢时 stdout 管道写满，本线程会阻塞在写入上，无法真正保持速率；
+     * 因此每行携带的是计划时间而非实际写出时间，阻塞期间积压的等待会计入端到端延迟，
+     * 最终的 count / elapsed 低于目标速率即说明下游已饱和。
+     */
+    private void emitLoop() {
+        long start = System.nanoTime();
+        long startMicros = nowMicros();
+        StringBuilder sb = new StringBuilder(256);
+        while (running) {
+            long offsetNanos = emitted * periodNanos;
+            long due = start + offsetNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+
+            int size = nextSize();
+            sb.setLength(0);
+            sb.append(LINE_PREFIX).append(emitted).append(' ').append(startMicros + offsetNanos / 1_000).append(' ');
+            while (sb.length() < size) {
+                sb.append('x');
+            }
+            writeLine(sb.toString());
+            emitted++;
+        }
+        elapsedMicros = (System.nanoTime() - start) / 1_000;
+    }
+
+    private int nextSize() {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return sizes[i];
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    private void writeLine(String line) {
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+}